@@ -0,0 +1,213 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A spatial index of complex numbers over the complex plane. The plane is
+ * divided into square cells whose side equals the tolerance, so that all
+ * values within the tolerance of a point lie in the 3 × 3 block of cells
+ * around it.
+ *
+ * @author Suyash Gupta
+ */
+
+public class ComplexIndex {
+
+    /**
+     * Represents the largest magnitude of a cell coordinate.
+     */
+    private static final long MAX_CELL = 1L << 62;
+
+    /**
+     * Represents the tolerance and the side of each grid cell.
+     */
+    final private double tolerance;
+    /**
+     * Maps a cell to the values stored in that cell.
+     */
+    final private HashMap<Cell, List<ComplexNum>> cells = new HashMap<>();
+    /**
+     * Represents the number of values stored in the index.
+     */
+    private int size;
+
+    /**
+     * Creates an empty index with the given tolerance.
+     *
+     * @param   tolerance   the distance within which two values are considered equal.
+     */
+    public ComplexIndex(double tolerance) {
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("tolerance must be positive and finite: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the tolerance of the index.
+     * @return  the tolerance of the index.
+     */
+    public double tolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Returns the number of values stored in the index.
+     * @return  the number of values stored in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a complex number to the index.
+     *
+     * @param   z   a complex number in rectangular form.
+     */
+    public void add(ComplexNum z) {
+        cells.computeIfAbsent(new Cell(cell(z.real()), cell(z.imag())), k -> new ArrayList<>()).add(z);
+        size++;
+    }
+
+    /**
+     * Returns all stored values within the tolerance of a complex number.
+     *
+     * @param   z   a complex number in rectangular form.
+     *
+     * @return  the stored values <i>w</i> with <i>|z - w| ≤ tolerance</i>.
+     */
+    public List<ComplexNum> near(ComplexNum z) {
+        List<ComplexNum> result = new ArrayList<>();
+        scan(z, result);
+        return result;
+    }
+
+    /**
+     * Returns a stored value within the tolerance of a complex number.
+     *
+     * @param   z   a complex number in rectangular form.
+     *
+     * @return  a stored value within the tolerance of <i>z</i>, or null if there is none.
+     */
+    public ComplexNum find(ComplexNum z) {
+        return scan(z, null);
+    }
+
+    /**
+     * Returns whether a value within the tolerance of a complex number is stored.
+     *
+     * @param   z   a complex number in rectangular form.
+     *
+     * @return  true if a stored value lies within the tolerance of <i>z</i>.
+     */
+    public boolean contains(ComplexNum z) {
+        return find(z) != null;
+    }
+
+    /**
+     * Returns the stored value within the tolerance of a complex number,
+     * adding the number to the index if there is none.
+     *
+     * @param   z   a complex number in rectangular form.
+     *
+     * @return  the stored representative of <i>z</i>.
+     */
+    public ComplexNum findOrAdd(ComplexNum z) {
+        ComplexNum w = find(z);
+        if (w != null) {
+            return w;
+        }
+        add(z);
+        return z;
+    }
+
+    /**
+     * Removes values that lie within the tolerance of an earlier value.
+     *
+     * @param   values      complex numbers in rectangular form.
+     * @param   tolerance   the distance within which two values are considered equal.
+     *
+     * @return  the first value of each cluster, in the order they appear in <i>values</i>.
+     */
+    public static List<ComplexNum> distinct(Iterable<ComplexNum> values, double tolerance) {
+        ComplexIndex index = new ComplexIndex(tolerance);
+        List<ComplexNum> result = new ArrayList<>();
+        for (ComplexNum z : values) {
+            if (index.find(z) == null) {
+                index.add(z);
+                result.add(z);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scans the 3 × 3 block of cells around a complex number for values within
+     * the tolerance. If <i>matches</i> is null, returns the first such value;
+     * otherwise adds every such value to <i>matches</i> and returns null.
+     */
+    private ComplexNum scan(ComplexNum z, List<ComplexNum> matches) {
+        long cr = cell(z.real());
+        long ci = cell(z.imag());
+        for (int di = -1; di <= 1; di++) {
+            for (int dj = -1; dj <= 1; dj++) {
+                List<ComplexNum> bucket = cells.get(new Cell(cr + di, ci + dj));
+                if (bucket == null) {
+                    continue;
+                }
+                for (ComplexNum w : bucket) {
+                    if (ComplexNum.approxEquals(z, w, tolerance)) {
+                        if (matches == null) {
+                            return w;
+                        }
+                        matches.add(w);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cell coordinate of a value. Coordinates are clamped to
+     * ±{@link #MAX_CELL} so that neighbouring cells never overflow; only
+     * infinite or astronomically large values share the edge cells. NaN
+     * values fall in cell 0, where they never match under the tolerance.
+     */
+    private long cell(double x) {
+        return (long) Math.max(-MAX_CELL, Math.min(MAX_CELL, Math.floor(x / tolerance)));
+    }
+
+    /**
+     * Represents the coordinates of a grid cell.
+     */
+    private static class Cell {
+        /**
+         * Represents the cell coordinate along the real axis.
+         */
+        final private long i;
+        /**
+         * Represents the cell coordinate along the imaginary axis.
+         */
+        final private long j;
+
+        Cell(long i, long j) {
+            this.i = i;
+            this.j = j;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Cell)) {
+                return false;
+            }
+            Cell other = (Cell) obj;
+            return i == other.i && j == other.j;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(i * 0x9E3779B97F4A7C15L + j);
+        }
+    }
+}
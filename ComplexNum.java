@@ -1,8 +1,11 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
 /**
  * @author Suyash Gupta
  */
 
-public class ComplexNum {
+public class ComplexNum implements Comparable<ComplexNum> {
 
     /**
      * Represents the real part of the complex number.
@@ -52,6 +55,77 @@ public class ComplexNum {
         return real + " + " + imag + "i";
     }
 
+    /**
+     * Compares this complex number with another object for equality.
+     * Two complex numbers are equal if their real and imaginary parts are
+     * equal, where 0.0 and -0.0 are treated as equal and NaN is equal to NaN.
+     * 
+     * @param   obj     the object to compare with.
+     * 
+     * @return  true if <i>obj</i> is a complex number with the same value.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ComplexNum)) {
+            return false;
+        }
+        ComplexNum other = (ComplexNum) obj;
+        return sameValue(real, other.real) && sameValue(imag, other.imag);
+    }
+
+    /**
+     * Returns the hash code of the complex number, consistent with {@link #equals(Object)}.
+     * @return  the hash code of the complex number.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * hashValue(real) + hashValue(imag);
+    }
+
+    /**
+     * Compares two complex numbers lexicographically, first by the real part
+     * and then by the imaginary part. The ordering is consistent with
+     * {@link #equals(Object)}; NaN parts are ordered after all other values.
+     * 
+     * @param   other   the complex number to compare with.
+     * 
+     * @return  a negative integer, zero or a positive integer as this complex
+     * number is less than, equal to or greater than <i>other</i>.
+     */
+    @Override
+    public int compareTo(ComplexNum other) {
+        int c = Double.compare(canonical(real), canonical(other.real));
+        if (c != 0) {
+            return c;
+        }
+        return Double.compare(canonical(imag), canonical(other.imag));
+    }
+
+    /**
+     * Returns the given value with -0.0 replaced by 0.0.
+     */
+    private static double canonical(double x) {
+        return x == 0.0 ? 0.0 : x;
+    }
+
+    /**
+     * Returns true if both values are equal, treating 0.0 and -0.0 as equal
+     * and NaN as equal to NaN.
+     */
+    private static boolean sameValue(double x, double y) {
+        return x == y || (x != x && y != y);
+    }
+
+    /**
+     * Returns a hash of the given value, consistent with {@link #sameValue(double, double)}.
+     */
+    private static int hashValue(double x) {
+        return Double.hashCode(canonical(x));
+    }
+
     /**
      * Returns the conjugate of a complex number.
      * @return  for a complex number of <i>a + bi</i>, it will return a - bi.
@@ -136,6 +210,64 @@ public class ComplexNum {
             return r + "(e^" + theta + "i)";
         }
 
+        /**
+         * Compares this complex number with another object for equality.
+         * Two polar complex numbers are equal if they represent the same value:
+         * a negative magnitude is folded into the phase, the phases -π and π are
+         * treated as equal, and all numbers of magnitude 0 are equal. Otherwise
+         * 0.0 and -0.0 are treated as equal and NaN is equal to NaN.
+         * 
+         * @param   obj     the object to compare with.
+         * 
+         * @return  true if <i>obj</i> is a polar complex number with the same value.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Polar)) {
+                return false;
+            }
+            Polar other = (Polar) obj;
+            return sameValue(canonicalMag(), other.canonicalMag())
+                    && sameValue(canonicalPhase(), other.canonicalPhase());
+        }
+
+        /**
+         * Returns the hash code of the complex number, consistent with {@link #equals(Object)}.
+         * @return  the hash code of the complex number.
+         */
+        @Override
+        public int hashCode() {
+            return 31 * hashValue(canonicalMag()) + hashValue(canonicalPhase());
+        }
+
+        /**
+         * Returns the magnitude with a negative sign folded into the phase.
+         */
+        private double canonicalMag() {
+            return r < 0 ? -r : r;
+        }
+
+        /**
+         * Returns the phase in range (-π, π] after folding in a negative
+         * magnitude, or 0 if the magnitude is 0.
+         */
+        private double canonicalPhase() {
+            if (r == 0) {
+                return 0;
+            }
+            double t = theta;
+            if (r < 0) {
+                t += Math.PI;
+                if (t > Math.PI) {
+                    t -= 2*Math.PI;
+                }
+            }
+            return t == -Math.PI ? Math.PI : t;
+        }
+
         /**
          * Returns the conjugate of the complex number.
          * @return  the conjugate of the complex number.
@@ -679,4 +811,92 @@ public class ComplexNum {
     public static Polar power(double a, Polar b) {
         return power(a, b.toComplexRect()).toComplexPolar();
     }
+
+    /**
+     * Orders complex numbers lexicographically, first by the real part and
+     * then by the imaginary part.
+     */
+    public static final Comparator<ComplexNum> LEXICOGRAPHIC = Comparator.naturalOrder();
+
+    /**
+     * Orders complex numbers by magnitude. Numbers of equal magnitude are
+     * ordered lexicographically.
+     */
+    public static final Comparator<ComplexNum> BY_MAGNITUDE = (a, b) -> {
+        int c = Double.compare(Math.hypot(a.real, a.imag), Math.hypot(b.real, b.imag));
+        return c != 0 ? c : a.compareTo(b);
+    };
+
+    /**
+     * Orders complex numbers by phase in range [-π, π]. Numbers of equal
+     * phase are ordered by magnitude. The phase is taken with 0.0 and -0.0
+     * treated as equal, so zero has phase 0, and numbers with a NaN part are
+     * ordered last.
+     */
+    public static final Comparator<ComplexNum> BY_PHASE = (a, b) -> {
+        int c = Double.compare(sortPhase(a), sortPhase(b));
+        return c != 0 ? c : BY_MAGNITUDE.compare(a, b);
+    };
+
+    /**
+     * Returns the phase of a complex number with -0.0 parts replaced by 0.0.
+     */
+    private static double sortPhase(ComplexNum z) {
+        return Math.atan2(canonical(z.imag), canonical(z.real));
+    }
+
+    /**
+     * Returns whether two complex numbers in rectangular form lie within
+     * the given distance of each other.
+     * 
+     * @param   a           a complex number in rectangular form.
+     * @param   b           a complex number in rectangular form.
+     * @param   tolerance   the maximum allowed distance |a - b|.
+     * 
+     * @return  true if <i>|a - b| ≤ tolerance</i>.
+     * 
+     * @throws  IllegalArgumentException    if the tolerance is negative or NaN.
+     */
+    public static boolean approxEquals(ComplexNum a, ComplexNum b, double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("tolerance must be non-negative: " + tolerance);
+        }
+        return Math.hypot(a.real - b.real, a.imag - b.imag) <= tolerance;
+    }
+
+    /**
+     * Returns whether two complex numbers in polar form lie within
+     * the given distance of each other.
+     * 
+     * @param   a           a complex number in polar form.
+     * @param   b           a complex number in polar form.
+     * @param   tolerance   the maximum allowed distance |a - b|.
+     * 
+     * @return  true if <i>|a - b| ≤ tolerance</i>.
+     * 
+     * @throws  IllegalArgumentException    if the tolerance is negative or NaN.
+     */
+    public static boolean approxEquals(Polar a, Polar b, double tolerance) {
+        return approxEquals(a.toComplexRect(), b.toComplexRect(), tolerance);
+    }
+
+    /**
+     * Sorts an array of complex numbers in rectangular form lexicographically.
+     * 
+     * @param   a   the array to be sorted.
+     */
+    public static void sort(ComplexNum[] a) {
+        Arrays.sort(a);
+    }
+
+    /**
+     * Sorts an array of complex numbers in rectangular form in the order
+     * given by the comparator, e.g. {@link #BY_MAGNITUDE} or {@link #BY_PHASE}.
+     * 
+     * @param   a   the array to be sorted.
+     * @param   c   the comparator that determines the order.
+     */
+    public static void sort(ComplexNum[] a, Comparator<? super ComplexNum> c) {
+        Arrays.sort(a, c);
+    }
 }
\ No newline at end of file
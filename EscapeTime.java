@@ -0,0 +1,370 @@
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An escape-time iteration engine for maps of the form <i>z ← f(z) + c</i>,
+ * such as the Mandelbrot and Julia sets. Iterations run on primitive values,
+ * escape is tested on the squared magnitude, and grids are split into tiles
+ * that are scheduled on a work-stealing pool.
+ *
+ * @author Suyash Gupta
+ */
+
+public class EscapeTime {
+
+    /**
+     * Represents one step of an iterated map.
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Computes the next value of the iteration.
+         *
+         * @param   zr      the real part of the current value.
+         * @param   zi      the imaginary part of the current value.
+         * @param   cr      the real part of the parameter.
+         * @param   ci      the imaginary part of the parameter.
+         * @param   out     an array of length 2 receiving the real and imaginary
+         *                  parts of the next value.
+         */
+        void apply(double zr, double zi, double cr, double ci, double[] out);
+    }
+
+    /**
+     * The map <i>z ← z² + c</i>. It is evaluated inline rather than through
+     * {@link Step#apply}, and with a bailout of at least 2 enables the cardioid and bulb
+     * checks for Mandelbrot grids.
+     */
+    public static final Step QUADRATIC = (zr, zi, cr, ci, out) -> {
+        out[0] = zr*zr - zi*zi + cr;
+        out[1] = 2*zr*zi + ci;
+    };
+
+    /**
+     * Number of grid points below which a tile is no longer split.
+     */
+    private static final int TILE_POINTS = 1024;
+    /**
+     * Distance below which two values are considered the same for the periodicity check.
+     */
+    private static final double PERIOD_EPS = 1e-15;
+
+    /**
+     * Represents the map being iterated.
+     */
+    final private Step step;
+    /**
+     * Represents the maximum number of iterations per point.
+     */
+    final private int maxIter;
+    /**
+     * Represents the square of the magnitude beyond which a point has escaped.
+     */
+    final private double bailoutSq;
+
+    /**
+     * Creates an engine for the given map.
+     *
+     * @param   step        the map to iterate.
+     * @param   maxIter     the maximum number of iterations per point.
+     * @param   bailout     the magnitude beyond which a point has escaped.
+     * 
+     * @throws  NullPointerException        if the map is null.
+     * @throws  IllegalArgumentException    if maxIter or the bailout is not positive.
+     */
+    public EscapeTime(Step step, int maxIter, double bailout) {
+        Objects.requireNonNull(step, "step");
+        if (maxIter <= 0) {
+            throw new IllegalArgumentException("maxIter must be positive: " + maxIter);
+        }
+        if (!(bailout > 0)) {
+            throw new IllegalArgumentException("bailout must be positive: " + bailout);
+        }
+        this.step = step;
+        this.maxIter = maxIter;
+        this.bailoutSq = bailout * bailout;
+    }
+
+    /**
+     * Creates an engine for <i>z ← z² + c</i> with a bailout of 2.
+     *
+     * @param   maxIter     the maximum number of iterations per point.
+     */
+    public EscapeTime(int maxIter) {
+        this(QUADRATIC, maxIter, 2);
+    }
+
+    /**
+     * Returns the map <i>z ← p(z) + c</i> for a polynomial <i>p</i>.
+     *
+     * @param   coefficients    the coefficients of <i>p</i> as complex numbers in
+     *                          rectangular form, starting with the constant term.
+     *
+     * @return  the map as a {@link Step}.
+     */
+    public static Step polynomial(ComplexNum... coefficients) {
+        int n = coefficients.length;
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int k = 0; k < n; k++) {
+            re[k] = coefficients[k].real();
+            im[k] = coefficients[k].imag();
+        }
+        return (zr, zi, cr, ci, out) -> {
+            double pr = 0;
+            double pi = 0;
+            for (int k = n - 1; k >= 0; k--) {
+                double t = pr*zr - pi*zi + re[k];
+                pi = pr*zi + pi*zr + im[k];
+                pr = t;
+            }
+            out[0] = pr + cr;
+            out[1] = pi + ci;
+        };
+    }
+
+    /**
+     * Returns the maximum number of iterations per point.
+     * @return  the maximum number of iterations per point.
+     */
+    public int maxIter() {
+        return maxIter;
+    }
+
+    /**
+     * Iterates the map from a starting value until it escapes.
+     *
+     * @param   z   the starting value in rectangular form.
+     * @param   c   the parameter in rectangular form.
+     *
+     * @return  the number of iterations before the value escaped, or
+     * {@link #maxIter()} if it did not escape.
+     */
+    public int iterate(ComplexNum z, ComplexNum c) {
+        return iterate(z.real(), z.imag(), c.real(), c.imag(), new double[2]);
+    }
+
+    /**
+     * Computes the escape times of the Mandelbrot-style grid, where each point
+     * is the parameter <i>c</i> and iteration starts at <i>z = 0</i>. Point
+     * <i>(x, y)</i> is sampled at <i>reMin + x(reMax - reMin)/width</i>,
+     * <i>imMin + y(imMax - imMin)/height</i>, so the upper bounds are exclusive.
+     *
+     * @param   reMin   the smallest real part of the grid.
+     * @param   imMin   the smallest imaginary part of the grid.
+     * @param   reMax   the exclusive upper bound of the real parts of the grid.
+     * @param   imMax   the exclusive upper bound of the imaginary parts of the grid.
+     * @param   width   the number of columns.
+     * @param   height  the number of rows.
+     *
+     * @return  the escape times in row-major order.
+     * 
+     * @throws  IllegalArgumentException    if the grid size is not positive.
+     * @throws  ArithmeticException         if the grid has more than
+     *                                      {@link Integer#MAX_VALUE} points.
+     */
+    public int[] mandelbrot(double reMin, double imMin, double reMax, double imMax, int width, int height) {
+        return render(false, 0, 0, reMin, imMin, reMax, imMax, width, height);
+    }
+
+    /**
+     * Computes the escape times of the Julia-style grid, where each point
+     * is the starting value <i>z</i> and the parameter <i>c</i> is fixed.
+     * Points are sampled as in {@link #mandelbrot}.
+     *
+     * @param   c       the parameter in rectangular form.
+     * @param   reMin   the smallest real part of the grid.
+     * @param   imMin   the smallest imaginary part of the grid.
+     * @param   reMax   the exclusive upper bound of the real parts of the grid.
+     * @param   imMax   the exclusive upper bound of the imaginary parts of the grid.
+     * @param   width   the number of columns.
+     * @param   height  the number of rows.
+     *
+     * @return  the escape times in row-major order.
+     * 
+     * @throws  NullPointerException        if the parameter is null.
+     * @throws  IllegalArgumentException    if the grid size is not positive.
+     * @throws  ArithmeticException         if the grid has more than
+     *                                      {@link Integer#MAX_VALUE} points.
+     */
+    public int[] julia(ComplexNum c, double reMin, double imMin, double reMax, double imMax, int width, int height) {
+        Objects.requireNonNull(c, "c");
+        return render(true, c.real(), c.imag(), reMin, imMin, reMax, imMax, width, height);
+    }
+
+    private int[] render(boolean julia, double cr, double ci,
+            double reMin, double imMin, double reMax, double imMax, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("grid size must be positive: " + width + " x " + height);
+        }
+        int[] result = new int[Math.multiplyExact(width, height)];
+        ForkJoinPool.commonPool().invoke(new Tile(julia, cr, ci, reMin, imMin,
+                (reMax - reMin) / width, (imMax - imMin) / height, width, result, 0, width, 0, height));
+        return result;
+    }
+
+    /**
+     * A rectangle of grid points, split in half along its longer side until
+     * it holds at most {@link #TILE_POINTS} points.
+     */
+    private class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Represents whether the grid is a Julia grid rather than a Mandelbrot grid.
+         */
+        final private boolean julia;
+        /**
+         * Represents the real part of the fixed parameter of a Julia grid.
+         */
+        final private double cr;
+        /**
+         * Represents the imaginary part of the fixed parameter of a Julia grid.
+         */
+        final private double ci;
+        /**
+         * Represents the real part of column 0.
+         */
+        final private double reMin;
+        /**
+         * Represents the imaginary part of row 0.
+         */
+        final private double imMin;
+        /**
+         * Represents the distance between adjacent columns.
+         */
+        final private double dx;
+        /**
+         * Represents the distance between adjacent rows.
+         */
+        final private double dy;
+        /**
+         * Represents the number of columns of the whole grid.
+         */
+        final private int width;
+        /**
+         * Represents the escape times of the whole grid in row-major order.
+         */
+        final private int[] result;
+        /**
+         * Represents the first column of the tile.
+         */
+        final private int x0;
+        /**
+         * Represents the column after the last column of the tile.
+         */
+        final private int x1;
+        /**
+         * Represents the first row of the tile.
+         */
+        final private int y0;
+        /**
+         * Represents the row after the last row of the tile.
+         */
+        final private int y1;
+
+        Tile(boolean julia, double cr, double ci, double reMin, double imMin, double dx, double dy,
+                int width, int[] result, int x0, int x1, int y0, int y1) {
+            this.julia = julia;
+            this.cr = cr;
+            this.ci = ci;
+            this.reMin = reMin;
+            this.imMin = imMin;
+            this.dx = dx;
+            this.dy = dy;
+            this.width = width;
+            this.result = result;
+            this.x0 = x0;
+            this.x1 = x1;
+            this.y0 = y0;
+            this.y1 = y1;
+        }
+
+        @Override
+        protected void compute() {
+            int w = x1 - x0;
+            int h = y1 - y0;
+            if ((long) w * h > TILE_POINTS) {
+                if (w >= h) {
+                    int mid = (x0 + x1) >>> 1;
+                    invokeAll(new Tile(julia, cr, ci, reMin, imMin, dx, dy, width, result, x0, mid, y0, y1),
+                            new Tile(julia, cr, ci, reMin, imMin, dx, dy, width, result, mid, x1, y0, y1));
+                }
+                else {
+                    int mid = (y0 + y1) >>> 1;
+                    invokeAll(new Tile(julia, cr, ci, reMin, imMin, dx, dy, width, result, x0, x1, y0, mid),
+                            new Tile(julia, cr, ci, reMin, imMin, dx, dy, width, result, x0, x1, mid, y1));
+                }
+                return;
+            }
+            boolean bulbs = !julia && step == QUADRATIC && bailoutSq >= 4;
+            double[] buf = new double[2];
+            for (int y = y0; y < y1; y++) {
+                double im = imMin + y * dy;
+                int row = y * width;
+                for (int x = x0; x < x1; x++) {
+                    double re = reMin + x * dx;
+                    if (julia) {
+                        result[row + x] = iterate(re, im, cr, ci, buf);
+                    }
+                    else {
+                        result[row + x] = bulbs && inMainBulbs(re, im)
+                                ? maxIter : iterate(0, 0, re, im, buf);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether <i>c</i> lies in the main cardioid or the period-2 bulb
+     * of the Mandelbrot set, where iteration from 0 never exceeds magnitude 2.
+     */
+    private static boolean inMainBulbs(double cr, double ci) {
+        double xr = cr - 0.25;
+        double ci2 = ci * ci;
+        double q = xr*xr + ci2;
+        if (q * (q + xr) <= 0.25 * ci2) {
+            return true;
+        }
+        return (cr + 1)*(cr + 1) + ci2 <= 0.0625;
+    }
+
+    /**
+     * Iterates the map, comparing against a saved value whose refresh
+     * interval doubles each time so cycles of any period are detected.
+     */
+    private int iterate(double zr, double zi, double cr, double ci, double[] buf) {
+        double sr = zr;
+        double si = zi;
+        int check = 0;
+        int period = 8;
+        boolean quadratic = step == QUADRATIC;
+        for (int n = 0; n < maxIter; n++) {
+            if (zr*zr + zi*zi > bailoutSq) {
+                return n;
+            }
+            if (quadratic) {
+                double t = zr*zr - zi*zi + cr;
+                zi = 2*zr*zi + ci;
+                zr = t;
+            }
+            else {
+                step.apply(zr, zi, cr, ci, buf);
+                zr = buf[0];
+                zi = buf[1];
+            }
+            if (Math.abs(zr - sr) < PERIOD_EPS && Math.abs(zi - si) < PERIOD_EPS) {
+                return maxIter;
+            }
+            if (++check == period) {
+                check = 0;
+                period <<= 1;
+                sr = zr;
+                si = zi;
+            }
+        }
+        return maxIter;
+    }
+}